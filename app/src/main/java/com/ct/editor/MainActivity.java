@@ -20,17 +20,25 @@ import android.widget.ScrollView;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import com.ct.editor.highlight.CTHighlighter;
+import com.ct.editor.highlight.CTMarkdownTokenizer;
 import com.ct.editor.manager.CTEditorManager;
+import com.ct.editor.sync.CTSyncManager;
+import com.ct.editor.sync.CTSyncTransport;
 
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.util.UUID;
 
 public class MainActivity extends AppCompatActivity {
 
     CTEditorManager mHelper;
+    CTHighlighter mHighlighter;
+    // null while no sync backend is configured
+    CTSyncManager mSync;
     SharedPreferences mPrefs;
 
     ScrollView mLayoutMain;
@@ -55,6 +63,8 @@ public class MainActivity extends AppCompatActivity {
         mSave = findViewById(R.id.btnSave);
 
         mHelper = new CTEditorManager(mEditText);
+        mHighlighter = new CTHighlighter(mEditText, new CTMarkdownTokenizer());
+        mHelper.addOnEditListener(mHighlighter);
 
         mUndo.setOnClickListener(new View.OnClickListener() {
             @Override
@@ -84,6 +94,9 @@ public class MainActivity extends AppCompatActivity {
             @Override
             public void onClick(View v) {
                 saveNote(SAVE_NOTE_FILE_NAME);
+                if (mSync != null) {
+                    mSync.sync();
+                }
             }
         });
 
@@ -138,6 +151,42 @@ public class MainActivity extends AppCompatActivity {
             mEditText.setText(savedText);
         }
 
+        CTSyncTransport transport = createSyncTransport();
+        if (transport != null) {
+            // first sync merges the note with the server copy, or uploads it
+            mSync = new CTSyncManager(mHelper, mEditText, transport, getSyncClientId());
+            mSync.sync();
+        }
+
+    }
+
+    @Override
+    protected void onDestroy() {
+        mHelper.removeOnEditListener(mHighlighter);
+        mHighlighter.release();
+        if (mSync != null) {
+            mSync.release();
+        }
+        super.onDestroy();
+    }
+
+    /**
+     * @return the transport to the sync backend, null while none is configured
+     */
+    protected CTSyncTransport createSyncTransport() {
+        return null;
+    }
+
+    /**
+     * @return the client id of this install, the same across restarts and rotation
+     */
+    private String getSyncClientId() {
+        String clientId = mPrefs.getString(SAVE_NOTE_PREFIX + ".clientId", null);
+        if (clientId == null) {
+            clientId = UUID.randomUUID().toString();
+            mPrefs.edit().putString(SAVE_NOTE_PREFIX + ".clientId", clientId).apply();
+        }
+        return clientId;
     }
 
     private void validateButtons() {
@@ -0,0 +1,49 @@
+package com.ct.editor.highlight;
+
+/**
+ * {@code Pending damaged region of the text, kept in sync with the edits made after it}
+ *
+ * @version 1.0
+ * @since 19, Oct, 2026
+ */
+final class CTDamageRegion {
+    // -1 if nothing is damaged
+    int mStart = -1;
+    int mEnd = -1;
+
+    boolean isEmpty() {
+        return mStart == -1;
+    }
+
+    void clear() {
+        mStart = -1;
+        mEnd = -1;
+    }
+
+    /**
+     * Maps the region through an edit replacing [start, start + before) with count characters,
+     * then unites it with the edit.
+     */
+    void add(int start, int before, int count) {
+        if (isEmpty()) {
+            mStart = start;
+            mEnd = start + count;
+        } else {
+            mStart = Math.min(map(mStart, start, before, count), start);
+            mEnd = Math.max(map(mEnd, start, before, count), start + count);
+        }
+    }
+
+    /**
+     * @return the position after an edit replacing [start, start + before) with count characters
+     */
+    static int map(int position, int start, int before, int count) {
+        if (position <= start) {
+            return position;
+        }
+        if (position >= start + before) {
+            return position + count - before;
+        }
+        return start;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ct.editor.highlight;
+
+import android.graphics.Typeface;
+import android.text.NoCopySpan;
+import android.text.style.ForegroundColorSpan;
+import android.text.style.StyleSpan;
+import android.text.style.TypefaceSpan;
+
+/**
+ * {@code Marker for spans owned by {@link CTHighlighter}}
+ * Being a {@link NoCopySpan}, highlight spans are dropped by subSequence/copy, so they never
+ * leak into the edit history or get re-inserted by undo/redo.
+ *
+ * @version 1.0
+ * @since 19, Oct, 2026
+ */
+public interface CTHighlightSpan extends NoCopySpan {
+
+    final class Color extends ForegroundColorSpan implements CTHighlightSpan {
+        public Color(int color) {
+            super(color);
+        }
+    }
+
+    final class Style extends StyleSpan implements CTHighlightSpan {
+        public Style(int style) {
+            super(style);
+        }
+    }
+
+    final class Monospace extends TypefaceSpan implements CTHighlightSpan {
+        public Monospace() {
+            super("monospace");
+        }
+    }
+
+    final class Factory {
+        private Factory() {
+        }
+
+        /**
+         * @return the spans to apply for a token type
+         */
+        public static CTHighlightSpan[] create(CTToken.Type type) {
+            switch (type) {
+                case HEADING:
+                    return new CTHighlightSpan[]{new Style(Typeface.BOLD), new Color(0xFF1565C0)};
+                case BOLD:
+                    return new CTHighlightSpan[]{new Style(Typeface.BOLD)};
+                case ITALIC:
+                    return new CTHighlightSpan[]{new Style(Typeface.ITALIC)};
+                case CODE:
+                    return new CTHighlightSpan[]{new Monospace(), new Color(0xFFC62828)};
+                case QUOTE:
+                    return new CTHighlightSpan[]{new Color(0xFF757575)};
+                case LIST_MARKER:
+                    return new CTHighlightSpan[]{new Color(0xFFEF6C00)};
+                case LINK:
+                    return new CTHighlightSpan[]{new Color(0xFF2E7D32)};
+                default:
+                    return new CTHighlightSpan[0];
+            }
+        }
+    }
+}
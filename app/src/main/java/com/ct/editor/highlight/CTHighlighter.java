@@ -0,0 +1,123 @@
+package com.ct.editor.highlight;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.Spanned;
+import android.util.Log;
+import android.widget.EditText;
+
+import com.ct.editor.manager.CTEditorManager;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@code This is the incremental Highlighter, listens to the {@link CTEditorManager} edit stream
+ *          and re-tokenizes only the damaged region of the text}
+ * The damaged region is expanded to the stable boundaries of the {@link CTTokenizer}, copied as a
+ * snapshot and tokenized on a background thread. Spans are applied back in one pass on the UI
+ * thread, results from an older text version are discarded.
+ *
+ * @version 1.0
+ * @since 19, Oct, 2026
+ */
+public class CTHighlighter implements CTEditorManager.OnEditListener {
+    private static final String TAG = CTHighlighter.class.getSimpleName();
+    // quiet period before tokenizing, fast typing is coalesced into one pass
+    private static final long DELAY_MS = 100;
+
+    private final EditText mEditText;
+    private final CTTokenizer mTokenizer;
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService mExecutor = Executors.newSingleThreadExecutor();
+
+    // text version, changes with every edit. only touched on the UI thread
+    private int mVersion = 0;
+    private final CTDamageRegion mDamage = new CTDamageRegion();
+
+    private final Runnable mScheduleRunnable = new Runnable() {
+        @Override
+        public void run() {
+            schedule();
+        }
+    };
+
+    public CTHighlighter(EditText editText, CTTokenizer tokenizer) {
+        mEditText = editText;
+        mTokenizer = tokenizer;
+    }
+
+    /**
+     * Stops the background thread and drops any pending work
+     */
+    public void release() {
+        mHandler.removeCallbacks(mScheduleRunnable);
+        mVersion++;
+        mExecutor.shutdownNow();
+    }
+
+    @Override
+    public void onEdit(int start, int before, int count) {
+        mVersion++;
+
+        mDamage.add(start, before, count);
+
+        mHandler.removeCallbacks(mScheduleRunnable);
+        mHandler.postDelayed(mScheduleRunnable, DELAY_MS);
+    }
+
+    private void schedule() {
+        if (mDamage.isEmpty() || mExecutor.isShutdown()) {
+            return;
+        }
+
+        Editable text = mEditText.getText();
+        final int regionStart = mTokenizer.regionStart(text, Math.min(mDamage.mStart, text.length()));
+        final int regionEnd = mTokenizer.regionEnd(text, Math.min(mDamage.mEnd, text.length()));
+        final String snapshot = text.subSequence(regionStart, regionEnd).toString();
+        final int version = mVersion;
+
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final List<CTToken> tokens = mTokenizer.tokenize(snapshot, regionStart);
+                mHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        apply(version, regionStart, regionEnd, tokens);
+                    }
+                });
+            }
+        });
+    }
+
+    private void apply(int version, int regionStart, int regionEnd, List<CTToken> tokens) {
+        // text changed meanwhile, the damage is still pending and a newer pass is scheduled
+        if (version != mVersion) {
+            Log.d(TAG, "apply, discarding stale version: " + version + ", current: " + mVersion);
+            return;
+        }
+
+        Editable text = mEditText.getText();
+        mEditText.beginBatchEdit();
+        for (CTHighlightSpan span : text.getSpans(regionStart, regionEnd, CTHighlightSpan.class)) {
+            int start = text.getSpanStart(span);
+            int end = text.getSpanEnd(span);
+            // getSpans also returns spans only touching the region, keep those. collapsed ones are dead
+            if ((start < regionEnd && end > regionStart) || start == end) {
+                text.removeSpan(span);
+            }
+        }
+        for (CTToken token : tokens) {
+            for (CTHighlightSpan span : CTHighlightSpan.Factory.create(token.mmType)) {
+                text.setSpan(span, token.mmStart, token.mmEnd, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            }
+        }
+        mEditText.endBatchEdit();
+
+        mDamage.clear();
+        Log.d(TAG, "apply, version: " + version + ", region: [" + regionStart + ", " + regionEnd + "), tokens: " + tokens.size());
+    }
+}
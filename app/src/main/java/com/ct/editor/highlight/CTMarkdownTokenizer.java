@@ -0,0 +1,182 @@
+package com.ct.editor.highlight;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code Line based Markdown tokenizer, line breaks are the stable token boundaries}
+ * Supports headings, quotes, list markers, fence lines, inline code, bold, italic and links.
+ * Multi-line constructs (e.g. the body of a fenced block) are not highlighted, as that would
+ * make a single edit damage the rest of the document.
+ *
+ * @version 1.0
+ * @since 19, Oct, 2026
+ */
+public class CTMarkdownTokenizer implements CTTokenizer {
+
+    @Override
+    public int regionStart(CharSequence text, int offset) {
+        int i = Math.min(offset, text.length());
+        while (i > 0 && text.charAt(i - 1) != '\n') {
+            i--;
+        }
+        return i;
+    }
+
+    @Override
+    public int regionEnd(CharSequence text, int offset) {
+        int length = text.length();
+        int i = Math.max(offset, 0);
+        while (i < length && text.charAt(i) != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    @Override
+    public List<CTToken> tokenize(CharSequence region, int offset) {
+        List<CTToken> tokens = new ArrayList<CTToken>();
+        int length = region.length();
+        int lineStart = 0;
+        while (lineStart <= length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && region.charAt(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            tokenizeLine(region, lineStart, lineEnd, offset, tokens);
+            lineStart = lineEnd + 1;
+        }
+        return tokens;
+    }
+
+    private void tokenizeLine(CharSequence s, int start, int end, int offset, List<CTToken> out) {
+        if (start >= end) {
+            return;
+        }
+
+        // block level, whole line tokens
+        if (startsWith(s, start, end, "```")) {
+            out.add(new CTToken(offset + start, offset + end, CTToken.Type.CODE));
+            return;
+        }
+        int hashes = count(s, start, end, '#');
+        if (hashes > 0 && hashes <= 6 && start + hashes < end && s.charAt(start + hashes) == ' ') {
+            out.add(new CTToken(offset + start, offset + end, CTToken.Type.HEADING));
+            return;
+        }
+        if (s.charAt(start) == '>') {
+            out.add(new CTToken(offset + start, offset + end, CTToken.Type.QUOTE));
+            return;
+        }
+
+        int i = start + count(s, start, end, ' ');
+        int marker = listMarkerEnd(s, i, end);
+        if (marker > i) {
+            out.add(new CTToken(offset + i, offset + marker, CTToken.Type.LIST_MARKER));
+            i = marker;
+        }
+
+        tokenizeInline(s, i, end, offset, out);
+    }
+
+    private void tokenizeInline(CharSequence s, int start, int end, int offset, List<CTToken> out) {
+        int i = start;
+        while (i < end) {
+            char c = s.charAt(i);
+            int close = -1;
+            CTToken.Type type = null;
+            if (c == '`') {
+                close = indexOf(s, "`", i + 1, end);
+                type = CTToken.Type.CODE;
+                if (close != -1) {
+                    close += 1;
+                }
+            } else if (c == '_' && i > start && isWordChar(s.charAt(i - 1))) {
+                // intra-word underscore, e.g. snake_case, is not emphasis
+                close = -1;
+            } else if (startsWith(s, i, end, "**") || startsWith(s, i, end, "__")) {
+                close = indexOf(s, s.subSequence(i, i + 2).toString(), i + 2, end);
+                type = CTToken.Type.BOLD;
+                if (close != -1) {
+                    close += 2;
+                }
+            } else if (c == '*' || c == '_') {
+                close = indexOf(s, String.valueOf(c), i + 1, end);
+                type = CTToken.Type.ITALIC;
+                // empty emphasis is not a token
+                if (close == i + 1) {
+                    close = -1;
+                } else if (close != -1) {
+                    close += 1;
+                }
+            } else if (c == '[') {
+                int label = indexOf(s, "](", i + 1, end);
+                close = label == -1 ? -1 : indexOf(s, ")", label + 2, end);
+                type = CTToken.Type.LINK;
+                if (close != -1) {
+                    close += 1;
+                }
+            }
+
+            if (close == -1) {
+                i++;
+            } else {
+                out.add(new CTToken(offset + i, offset + close, type));
+                i = close;
+            }
+        }
+    }
+
+    /**
+     * @return end of the list marker ("- ", "* ", "+ ", "1. ") at start, or start if there is none
+     */
+    private int listMarkerEnd(CharSequence s, int start, int end) {
+        if (start + 1 < end) {
+            char c = s.charAt(start);
+            if ((c == '-' || c == '*' || c == '+') && s.charAt(start + 1) == ' ') {
+                return start + 2;
+            }
+        }
+        int i = start;
+        while (i < end && Character.isDigit(s.charAt(i))) {
+            i++;
+        }
+        if (i > start && i + 1 < end && s.charAt(i) == '.' && s.charAt(i + 1) == ' ') {
+            return i + 2;
+        }
+        return start;
+    }
+
+    private boolean isWordChar(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+
+    private int count(CharSequence s, int start, int end, char c) {
+        int i = start;
+        while (i < end && s.charAt(i) == c) {
+            i++;
+        }
+        return i - start;
+    }
+
+    private boolean startsWith(CharSequence s, int start, int end, String prefix) {
+        if (end - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (s.charAt(start + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(CharSequence s, String needle, int start, int end) {
+        for (int i = start; i <= end - needle.length(); i++) {
+            if (startsWith(s, i, end, needle)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,32 @@
+package com.ct.editor.highlight;
+
+/**
+ * {@code Entity Model class for a highlighted token, offsets are absolute in the document}
+ *
+ * @version 1.0
+ * @since 19, Oct, 2026
+ */
+public final class CTToken {
+    public final int mmStart;
+    public final int mmEnd;
+    public final Type mmType;
+
+    public CTToken(int start, int end, Type type) {
+        mmStart = start;
+        mmEnd = end;
+        mmType = type;
+    }
+
+    public enum Type {
+        HEADING, BOLD, ITALIC, CODE, QUOTE, LIST_MARKER, LINK;
+    }
+
+    @Override
+    public String toString() {
+        return "CTToken{" +
+                "mmStart=" + mmStart +
+                ", mmEnd=" + mmEnd +
+                ", mmType=" + mmType +
+                '}';
+    }
+}
@@ -0,0 +1,37 @@
+package com.ct.editor.highlight;
+
+import java.util.List;
+
+/**
+ * {@code Tokenizer contract used by {@link CTHighlighter}}
+ * A tokenizer must be able to re-tokenize any region between two stable boundaries in
+ * isolation, i.e. tokens never cross a boundary.
+ *
+ * @version 1.0
+ * @since 19, Oct, 2026
+ */
+public interface CTTokenizer {
+
+    /**
+     * Called on the UI thread against the live text, should only scan locally.
+     *
+     * @return the nearest stable boundary at or before offset
+     */
+    int regionStart(CharSequence text, int offset);
+
+    /**
+     * Called on the UI thread against the live text, should only scan locally.
+     *
+     * @return the nearest stable boundary at or after offset
+     */
+    int regionEnd(CharSequence text, int offset);
+
+    /**
+     * Called on the background thread against a snapshot of the region.
+     *
+     * @param region the snapshot of the region, starts and ends on stable boundaries
+     * @param offset absolute offset of the region in the document
+     * @return tokens with absolute offsets
+     */
+    List<CTToken> tokenize(CharSequence region, int offset);
+}
@@ -0,0 +1,56 @@
+package com.ct.editor.manager;
+
+/**
+ * {@code Operational Transform for {@link CTEditorHistoryItem} deltas}
+ * Concurrent edits on disjoint ranges are shifted. On overlapping ranges the deleted ranges are
+ * merged and both inserted texts are kept, the one starting first goes first.
+ *
+ * @version 1.0
+ * @since 19, Oct, 2026
+ */
+public final class CTEditTransform {
+
+    private CTEditTransform() {
+    }
+
+    /**
+     * @param a     edit to transform
+     * @param b     edit concurrent to a, both made on the same text
+     * @param aWins true if a goes first when both start at the same position
+     * @return a, to be applied after b
+     */
+    public static CTEditorHistoryItem transform(CTEditorHistoryItem a, CTEditorHistoryItem b, boolean aWins) {
+        String aBefore = toString(a.mmBefore), aAfter = toString(a.mmAfter);
+        String bBefore = toString(b.mmBefore), bAfter = toString(b.mmAfter);
+        int as = a.mmStart, ae = as + aBefore.length();
+        int bs = b.mmStart, be = bs + bBefore.length();
+
+        boolean bothInsertsAtSamePos = as == ae && bs == be && as == bs;
+        if (bothInsertsAtSamePos ? aWins : ae <= bs) {
+            // a is before b
+            return new CTEditorHistoryItem(as, aBefore, aAfter);
+        }
+        if (bothInsertsAtSamePos || be <= as) {
+            // a is after b
+            return new CTEditorHistoryItem(as + bAfter.length() - bBefore.length(), aBefore, aAfter);
+        }
+
+        // overlap, b already deleted its part of a's range
+        boolean aFirst = as < bs || (as == bs && aWins);
+        String suffix = ae > be ? aBefore.substring(be - as) : "";
+        if (!aFirst) {
+            // what is left of a's range follows b's text
+            return new CTEditorHistoryItem(bs + bAfter.length(), suffix, aAfter);
+        }
+        String prefix = aBefore.substring(0, bs - as);
+        if (suffix.isEmpty()) {
+            return new CTEditorHistoryItem(as, prefix, aAfter);
+        }
+        // a's range contains b's, keep b's text after a's
+        return new CTEditorHistoryItem(as, prefix + bAfter + suffix, aAfter + bAfter);
+    }
+
+    private static String toString(CharSequence s) {
+        return s == null ? "" : s.toString();
+    }
+}
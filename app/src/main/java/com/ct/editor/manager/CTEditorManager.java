@@ -9,6 +9,10 @@ import android.text.style.UnderlineSpan;
 import android.util.Log;
 import android.widget.EditText;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+
 /**
  * {@code This is the Editor Manager, responsible for holding the {@link CTEditHistory}
  *          and managing the undo/redo states for the actions {@link ActionType}}
@@ -23,7 +27,10 @@ public class CTEditorManager {
     private CTEditHistory mCTEditHistory;
     private EditTextChangeListener mChangeListener;
     private EditText mEditText;
-
+    private final List<OnEditListener> mEditListeners = new ArrayList<OnEditListener>();
+    private OnCommitListener mCommitListener;
+    // history item still being batched, committed once the batch is closed
+    private CTEditorHistoryItem mPendingCommit;
 
     public CTEditorManager(EditText editText) {
         mEditText = editText;
@@ -39,6 +46,113 @@ public class CTEditorManager {
         mEditText.removeTextChangedListener(mChangeListener);
     }
 
+    /**
+     * Registers a listener for the edit stream. Listeners are notified of every text change,
+     * including the ones applied by undo/redo.
+     */
+    public void addOnEditListener(OnEditListener listener) {
+        if (!mEditListeners.contains(listener)) {
+            mEditListeners.add(listener);
+        }
+    }
+
+    /**
+     * Unregisters a listener from the edit stream
+     */
+    public void removeOnEditListener(OnEditListener listener) {
+        mEditListeners.remove(listener);
+    }
+
+    /**
+     * Sets the listener for committed edits, see {@link OnCommitListener}
+     */
+    public void setOnCommitListener(OnCommitListener listener) {
+        mCommitListener = listener;
+    }
+
+    /**
+     * Commits the history item still being batched, if any
+     */
+    public void flushCommit() {
+        if (mPendingCommit != null) {
+            commit(mPendingCommit.mmStart, mPendingCommit.mmBefore, mPendingCommit.mmAfter);
+            mPendingCommit = null;
+        }
+    }
+
+    private void commit(int start, CharSequence before, CharSequence after) {
+        if (mCommitListener != null) {
+            // detached copy, history items keep mutating while batching
+            mCommitListener.onCommit(new CTEditorHistoryItem(start,
+                    before == null ? "" : before.toString(), after == null ? "" : after.toString()));
+        }
+    }
+
+    /**
+     * Applies edits not made by the user (e.g. from sync) in one Editable transaction.
+     * The edits are not recorded, Edit History is transformed through them so undo/redo keep working.
+     *
+     * @param items edits in order, each one relative to the text after the previous one
+     * @throws IllegalStateException if an edit is out of the text bounds, nothing is applied then
+     */
+    public void applyExternalEdits(List<CTEditorHistoryItem> items) throws IllegalStateException {
+        Editable text = mEditText.getEditableText();
+
+        // check all edits against the running length before touching anything
+        int length = text.length();
+        for (CTEditorHistoryItem item : items) {
+            int before = item.mmBefore != null ? item.mmBefore.length() : 0;
+            if (item.mmStart < 0 || item.mmStart + before > length) {
+                throw new IllegalStateException("External edit out of bounds: " + item);
+            }
+            length += (item.mmAfter != null ? item.mmAfter.length() : 0) - before;
+        }
+
+        if (items.isEmpty()) {
+            return;
+        }
+        flushCommit();
+
+        mEditText.beginBatchEdit();
+        isHistoryAvailable = true;
+        try {
+            for (CTEditorHistoryItem item : items) {
+                rebaseHistory(item);
+                int end = item.mmStart + (item.mmBefore != null ? item.mmBefore.length() : 0);
+                text.replace(item.mmStart, end, item.mmAfter == null ? "" : item.mmAfter);
+            }
+        } finally {
+            isHistoryAvailable = false;
+            mEditText.endBatchEdit();
+        }
+    }
+
+    /**
+     * Transforms Edit History through an edit made on the current text, the edit wins ties
+     */
+    private void rebaseHistory(CTEditorHistoryItem edit) {
+        // redo items apply after the current text, each one after the previous
+        CTEditorHistoryItem forward = edit;
+        ListIterator<CTEditorHistoryItem> redo = mCTEditHistory.mHistory.listIterator(mCTEditHistory.mPosition);
+        while (redo.hasNext()) {
+            CTEditorHistoryItem item = redo.next();
+            CTEditorHistoryItem next = CTEditTransform.transform(forward, item, true);
+            redo.set(CTEditTransform.transform(item, forward, false));
+            forward = next;
+        }
+
+        // undo items, walking back from the current text: transform the inverse of each item
+        CTEditorHistoryItem backward = edit;
+        ListIterator<CTEditorHistoryItem> undo = mCTEditHistory.mHistory.listIterator(mCTEditHistory.mPosition);
+        while (undo.hasPrevious()) {
+            CTEditorHistoryItem item = undo.previous();
+            CTEditorHistoryItem inverse = new CTEditorHistoryItem(item.mmStart, item.mmAfter, item.mmBefore);
+            CTEditorHistoryItem rebased = CTEditTransform.transform(inverse, backward, false);
+            backward = CTEditTransform.transform(backward, inverse, true);
+            undo.set(new CTEditorHistoryItem(rebased.mmStart, rebased.mmAfter, rebased.mmBefore));
+        }
+    }
+
     /**
      * Sets the Maximum size for Edit History
      */
@@ -50,6 +164,7 @@ public class CTEditorManager {
      * Clears Edit History
      */
     public void clearHistory() {
+        flushCommit();
         mCTEditHistory.clear();
     }
 
@@ -79,6 +194,10 @@ public class CTEditorManager {
         text.replace(start, end, edit.mmBefore);
         isHistoryAvailable = false;
 
+        // undo is an edit of its own for the commit stream
+        flushCommit();
+        commit(start, edit.mmAfter, edit.mmBefore);
+
         // This will get rid of underlines inserted when editor tries to come
         // up with a suggestion. bug in case of special fonts/spans
         for (Object o : text.getSpans(0, text.length(), UnderlineSpan.class)) {
@@ -113,6 +232,9 @@ public class CTEditorManager {
         text.replace(start, end, edit.mmAfter);
         isHistoryAvailable = false;
 
+        flushCommit();
+        commit(start, edit.mmBefore, edit.mmAfter);
+
         // This will get rid of underlines inserted when editor tries to come
         // up with a suggestion. bug in case of special fonts/spans
         for (Object o : text.getSpans(0, text.length(), UnderlineSpan.class)) {
@@ -220,6 +342,26 @@ public class CTEditorManager {
         return true;
     }
 
+    /**
+     * {@code Edit stream callback, reports the damaged region of every text change}
+     */
+    public interface OnEditListener {
+        /**
+         * @param start  start of the change in the new text
+         * @param before length of the replaced text
+         * @param count  length of the inserted text
+         */
+        void onEdit(int start, int before, int count);
+    }
+
+    /**
+     * {@code Commit stream callback, reports edits once they are final}
+     * A history item is committed when its batch is closed, undo/redo are committed as new edits.
+     */
+    public interface OnCommitListener {
+        void onCommit(CTEditorHistoryItem item);
+    }
+
     enum ActionType {
         INSERT, DELETE, PASTE, NOT_DEF;
     }
@@ -237,11 +379,17 @@ public class CTEditorManager {
                 return;
             }
 
+            // subSequence does not copy NoCopySpan spans (highlighting), so history never records them
             mBeforeChange = s.subSequence(start, start + count);
             Log.d(TAG, "beforeTextChanged, s: " + s + ", start: " + start + ", count: " + count + ", after: " + after + ", mBeforeChange: " + mBeforeChange);
         }
 
         public void onTextChanged(CharSequence s, int start, int before, int count) {
+            // edit stream is notified for history operations too, the text did change
+            for (int i = 0; i < mEditListeners.size(); i++) {
+                mEditListeners.get(i).onEdit(start, before, count);
+            }
+
             // block check to not update mAfterChange while undo/redo, any history operation is already executing
             if (isHistoryAvailable) {
                 return;
@@ -259,9 +407,15 @@ public class CTEditorManager {
         private void makeBatch(int start) {
             ActionType at = getActionType();
             CTEditorHistoryItem CTEditorHistoryItem = mCTEditHistory.getCurrent();
-            if ((lastActionType != at || ActionType.PASTE == at || System.currentTimeMillis() - lastActionTime > 1000) || CTEditorHistoryItem == null) {
-                // for single character
-                mCTEditHistory.add(new CTEditorHistoryItem(start, mBeforeChange, mAfterChange));
+            if ((lastActionType != at || ActionType.PASTE == at || System.currentTimeMillis() - lastActionTime > 1000) || CTEditorHistoryItem == null
+                    // only the pending item can be batched into, the others are already committed
+                    || CTEditorHistoryItem != mPendingCommit
+                    // an edit elsewhere in the text can't be merged into one delta
+                    || !isAdjacent(CTEditorHistoryItem, at, start)) {
+                // for single character, previous batch is final now
+                flushCommit();
+                mPendingCommit = new CTEditorHistoryItem(start, mBeforeChange, mAfterChange);
+                mCTEditHistory.add(mPendingCommit);
                 Log.d(TAG, "makeBatch, start: " + start + ", at: " + at + ", CTEditorHistoryItem: " + "null" + ", lastActionType: " + lastActionType + ", lastActionTime: " + lastActionTime);
             } else {
                 // to make batch as history like swipe, paste, type fast, delete fast: buffer period is 1000ms
@@ -280,6 +434,16 @@ public class CTEditorManager {
             Log.d(TAG, "makeBatch, start: " + start + ", at: " + at + ", lastActionType: " + lastActionType + ", lastActionTime: " + lastActionTime);
         }
 
+        /**
+         * @return true if the change at start continues the item, typing after it or deleting before it
+         */
+        private boolean isAdjacent(CTEditorHistoryItem item, ActionType at, int start) {
+            if (at == ActionType.DELETE) {
+                return start + mBeforeChange.length() == item.mmStart;
+            }
+            return start == item.mmStart + (item.mmAfter != null ? item.mmAfter.length() : 0);
+        }
+
         private ActionType getActionType() {
             ActionType result;
             if (!TextUtils.isEmpty(mBeforeChange) && TextUtils.isEmpty(mAfterChange)) {
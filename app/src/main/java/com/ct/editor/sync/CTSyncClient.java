@@ -0,0 +1,213 @@
+package com.ct.editor.sync;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@code Client side sync state: unsynced operations, their sequence numbers and the server revision}
+ * A new client, or one that fell out of sync, resyncs with the server document. The unsynced
+ * edits are kept: rebased onto the server document when their base is known, otherwise the
+ * local text is uploaded as a diff against it.
+ *
+ * @version 1.0
+ * @since 19, Oct, 2026
+ */
+public class CTSyncClient {
+    private final String mClientId;
+    // committed local operations not acknowledged by the server, oldest first
+    private final List<CTSyncOperation> mUnsynced = new ArrayList<CTSyncOperation>();
+    private long mNextSeq = 1;
+    // last server revision applied locally
+    private int mRevision = 0;
+    private boolean mResyncNeeded = true;
+    // true once a response was accepted, the base of the unsynced operations is known then
+    private boolean mJoined = false;
+
+    public CTSyncClient(String clientId) {
+        mClientId = clientId;
+    }
+
+    /**
+     * {@code Result of a response, applied to the local text before being accepted}
+     */
+    public static final class Update {
+        // operations to apply to the local text, in order
+        public final List<CTSyncOperation> mmInbound;
+        final List<CTSyncOperation> mmUnsynced;
+        final int mmRevision;
+        // lowest sequence number for the next local edit
+        final long mmNextSeq;
+
+        Update(List<CTSyncOperation> inbound, List<CTSyncOperation> unsynced, int revision, long nextSeq) {
+            mmInbound = inbound;
+            mmUnsynced = unsynced;
+            mmRevision = revision;
+            mmNextSeq = nextSeq;
+        }
+    }
+
+    public int getRevision() {
+        return mRevision;
+    }
+
+    public boolean isResyncNeeded() {
+        return mResyncNeeded;
+    }
+
+    /**
+     * @return true if there are local edits not acknowledged by the server
+     */
+    public boolean hasUnsyncedChanges() {
+        return !mUnsynced.isEmpty();
+    }
+
+    /**
+     * Adds a committed local edit, made on the text after all the previous ones
+     */
+    public void add(int start, String before, String after) {
+        if (before.equals(after)) {
+            return;
+        }
+        mUnsynced.add(new CTSyncOperation(mNextSeq++, start, before, after));
+    }
+
+    /**
+     * Drops the local state, the next request fetches the server document
+     */
+    public void resync() {
+        mResyncNeeded = true;
+    }
+
+    /**
+     * @return the request for the next exchange, the oldest unsynced operations or a resync
+     */
+    public CTSyncCodec.Request createRequest(int maxBatchSize) {
+        if (mResyncNeeded) {
+            return new CTSyncCodec.Request(mClientId, CTSyncCodec.RESYNC_REVISION,
+                    Collections.<CTSyncOperation>emptyList());
+        }
+        return new CTSyncCodec.Request(mClientId, mRevision, new ArrayList<CTSyncOperation>(
+                mUnsynced.subList(0, Math.min(mUnsynced.size(), maxBatchSize))));
+    }
+
+    /**
+     * Computes the update for a response without changing the state, see {@link #accept(Update)}.
+     *
+     * @param text the current local text
+     * @return the update, null if the server rejected the request and a resync is needed
+     */
+    public Update receive(CTSyncCodec.Response response, CharSequence text) {
+        if (response.mmError != null) {
+            mResyncNeeded = true;
+            return null;
+        }
+
+        if (response.mmDocument != null) {
+            return resync(response, text.toString());
+        }
+
+        // the server sends the operations to apply after the acked ones, rebase the rest on them
+        List<CTSyncOperation> unsynced = new ArrayList<CTSyncOperation>();
+        for (CTSyncOperation op : mUnsynced) {
+            if (op.mmSeq > response.mmAckSeq) {
+                unsynced.add(op);
+            }
+        }
+        List<CTSyncOperation> inbound = new ArrayList<CTSyncOperation>(response.mmOperations);
+        CTSyncTransform.transform(inbound, unsynced, true);
+        return new Update(inbound, unsynced, response.mmRevision, mNextSeq);
+    }
+
+    private Update resync(CTSyncCodec.Response response, String local) {
+        String server = response.mmDocument;
+        // after a rejection the server may hold the oldest unsynced operations already
+        List<CTSyncOperation> kept = new ArrayList<CTSyncOperation>();
+        for (CTSyncOperation op : mUnsynced) {
+            if (!mJoined || op.mmSeq > response.mmAckSeq) {
+                kept.add(op);
+            }
+        }
+
+        List<CTSyncOperation> inbound = new ArrayList<CTSyncOperation>();
+        List<CTSyncOperation> unsynced = new ArrayList<CTSyncOperation>();
+        String base = mJoined ? revert(local, kept) : null;
+        if (base != null) {
+            // the server changes since the last synced text, transformed past the local edits
+            addDiff(inbound, base, server);
+            unsynced.addAll(kept);
+            CTSyncTransform.transform(inbound, unsynced, true);
+        } else if (kept.isEmpty() && !server.isEmpty()) {
+            // nothing edited since the text was loaded, the server copy wins
+            addDiff(inbound, local, server);
+        } else {
+            // local edits on an unknown base, or a new backend: upload the local text
+            addDiff(unsynced, server, local);
+        }
+
+        // the client id may have been used by an earlier session, continue after its operations
+        long nextSeq = Math.max(mNextSeq, response.mmAckSeq + 1);
+        List<CTSyncOperation> renumbered = new ArrayList<CTSyncOperation>(unsynced.size());
+        for (CTSyncOperation op : unsynced) {
+            if (!op.mmBefore.equals(op.mmAfter)) {
+                renumbered.add(new CTSyncOperation(nextSeq++, op.mmStart, op.mmBefore, op.mmAfter));
+            }
+        }
+        return new Update(inbound, renumbered, response.mmRevision, nextSeq);
+    }
+
+    /**
+     * @return the text before the operations, null if they don't match it
+     */
+    private static String revert(String text, List<CTSyncOperation> ops) {
+        StringBuilder result = new StringBuilder(text);
+        for (int i = ops.size() - 1; i >= 0; i--) {
+            CTSyncOperation op = ops.get(i);
+            int end = op.mmStart + op.mmAfter.length();
+            if (op.mmStart < 0 || end > result.length() || !op.mmAfter.equals(result.substring(op.mmStart, end))) {
+                return null;
+            }
+            result.replace(op.mmStart, end, op.mmBefore);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Adds the operation turning from into to, only the changed middle, if they differ
+     */
+    private static void addDiff(List<CTSyncOperation> ops, String from, String to) {
+        int prefix = 0;
+        int max = Math.min(from.length(), to.length());
+        while (prefix < max && from.charAt(prefix) == to.charAt(prefix)) {
+            prefix++;
+        }
+        // never split a surrogate pair, a lone surrogate does not survive the UTF-8 wire format
+        if (prefix > 0 && Character.isHighSurrogate(from.charAt(prefix - 1))) {
+            prefix--;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && from.charAt(from.length() - 1 - suffix) == to.charAt(to.length() - 1 - suffix)) {
+            suffix++;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(from.charAt(from.length() - suffix))) {
+            suffix--;
+        }
+        if (prefix + suffix < from.length() || prefix + suffix < to.length()) {
+            ops.add(new CTSyncOperation(0, prefix, from.substring(prefix, from.length() - suffix),
+                    to.substring(prefix, to.length() - suffix)));
+        }
+    }
+
+    /**
+     * Accepts an update once its inbound operations are applied to the local text
+     */
+    public void accept(Update update) {
+        mUnsynced.clear();
+        mUnsynced.addAll(update.mmUnsynced);
+        mRevision = update.mmRevision;
+        mNextSeq = Math.max(mNextSeq, update.mmNextSeq);
+        mResyncNeeded = false;
+        mJoined = true;
+    }
+}
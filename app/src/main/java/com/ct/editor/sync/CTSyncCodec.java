@@ -0,0 +1,196 @@
+package com.ct.editor.sync;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * {@code Wire format for the sync {@link Request} and {@link Response}, deflate compressed}
+ *
+ * @version 1.0
+ * @since 19, Oct, 2026
+ */
+public final class CTSyncCodec {
+    private static final int VERSION = 1;
+    // base revision of a request asking for the whole document instead of operations
+    public static final int RESYNC_REVISION = -1;
+    // read buffer size, allocations follow the data actually read and not the lengths on the wire
+    private static final int CHUNK_SIZE = 8192;
+
+    private CTSyncCodec() {
+    }
+
+    /**
+     * {@code Outbound batch of a client, based on the server revision the client has seen}
+     */
+    public static final class Request {
+        public final String mmClientId;
+        public final int mmBaseRevision;
+        public final List<CTSyncOperation> mmOperations;
+
+        public Request(String clientId, int baseRevision, List<CTSyncOperation> operations) {
+            mmClientId = clientId;
+            mmBaseRevision = baseRevision;
+            mmOperations = operations;
+        }
+    }
+
+    /**
+     * {@code Server answer, the operations of the other clients to apply after the acked ones}
+     */
+    public static final class Response {
+        public final int mmRevision;
+        // last client sequence number accepted by the server
+        public final long mmAckSeq;
+        public final List<CTSyncOperation> mmOperations;
+        // whole document at mmRevision, only for a resync request
+        public final String mmDocument;
+        // reason the request was rejected, null if accepted
+        public final String mmError;
+
+        public Response(int revision, long ackSeq, List<CTSyncOperation> operations, String document, String error) {
+            mmRevision = revision;
+            mmAckSeq = ackSeq;
+            mmOperations = operations;
+            mmDocument = document;
+            mmError = error;
+        }
+
+        public static Response rejected(String error) {
+            return new Response(RESYNC_REVISION, 0, new ArrayList<CTSyncOperation>(), null, error);
+        }
+    }
+
+    public static byte[] encode(Request request) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = open(bytes);
+        writeString(out, request.mmClientId);
+        out.writeInt(request.mmBaseRevision);
+        writeOperations(out, request.mmOperations);
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    public static Request decodeRequest(byte[] data) throws IOException {
+        DataInputStream in = open(data);
+        try {
+            return new Request(readString(in), in.readInt(), readOperations(in));
+        } finally {
+            in.close();
+        }
+    }
+
+    public static byte[] encode(Response response) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = open(bytes);
+        out.writeInt(response.mmRevision);
+        out.writeLong(response.mmAckSeq);
+        writeOperations(out, response.mmOperations);
+        writeNullableString(out, response.mmDocument);
+        writeNullableString(out, response.mmError);
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    public static Response decodeResponse(byte[] data) throws IOException {
+        DataInputStream in = open(data);
+        try {
+            return new Response(in.readInt(), in.readLong(), readOperations(in),
+                    readNullableString(in), readNullableString(in));
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * @return the whole document in the same compressed format, what a full upload would send
+     */
+    public static byte[] encodeDocument(String document) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = open(bytes);
+        writeString(out, document);
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    private static DataOutputStream open(ByteArrayOutputStream bytes) throws IOException {
+        bytes.write(VERSION);
+        return new DataOutputStream(new DeflaterOutputStream(bytes));
+    }
+
+    private static DataInputStream open(byte[] data) throws IOException {
+        ByteArrayInputStream bytes = new ByteArrayInputStream(data);
+        int version = bytes.read();
+        if (version != VERSION) {
+            throw new IOException("Unsupported sync format version: " + version);
+        }
+        return new DataInputStream(new InflaterInputStream(bytes));
+    }
+
+    private static void writeOperations(DataOutputStream out, List<CTSyncOperation> ops) throws IOException {
+        out.writeInt(ops.size());
+        for (CTSyncOperation op : ops) {
+            out.writeLong(op.mmSeq);
+            out.writeInt(op.mmStart);
+            writeString(out, op.mmBefore);
+            writeString(out, op.mmAfter);
+        }
+    }
+
+    private static List<CTSyncOperation> readOperations(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid operation count: " + count);
+        }
+        List<CTSyncOperation> ops = new ArrayList<CTSyncOperation>(Math.min(count, CHUNK_SIZE));
+        for (int i = 0; i < count; i++) {
+            ops.add(new CTSyncOperation(in.readLong(), in.readInt(), readString(in), readString(in)));
+        }
+        return ops;
+    }
+
+    // length prefixed UTF-8, writeUTF is limited to 64KB
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] utf8 = s.getBytes("UTF-8");
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static void writeNullableString(DataOutputStream out, String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) {
+            writeString(out, s);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? readString(in) : null;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid string length: " + length);
+        }
+        // a corrupt length fails with the end of the payload instead of a huge allocation
+        ByteArrayOutputStream utf8 = new ByteArrayOutputStream(Math.min(length, CHUNK_SIZE));
+        byte[] chunk = new byte[Math.min(length, CHUNK_SIZE)];
+        int remaining = length;
+        while (remaining > 0) {
+            int read = in.read(chunk, 0, Math.min(remaining, chunk.length));
+            if (read == -1) {
+                throw new EOFException("String length beyond the payload: " + length);
+            }
+            utf8.write(chunk, 0, read);
+            remaining -= read;
+        }
+        return utf8.toString("UTF-8");
+    }
+}
@@ -0,0 +1,169 @@
+package com.ct.editor.sync;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.widget.EditText;
+
+import com.ct.editor.manager.CTEditorHistoryItem;
+import com.ct.editor.manager.CTEditorManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@code This is the Sync Manager, turns the committed edits of {@link CTEditorManager} into
+ *          sequence numbered {@link CTSyncOperation}s and exchanges them with a {@link CTSyncTransport}}
+ * Outbound operations are sent in compressed batches from a background thread, one exchange at a
+ * time. Inbound operations are transformed against the local edits the server has not seen yet
+ * and applied in one Editable transaction. A failed exchange is retried with the next sync, a
+ * rejected one, or inbound operations that don't fit the text, resync with the server document.
+ * The first sync merges the loaded text with the server document, see {@link CTSyncClient}.
+ *
+ * @version 1.0
+ * @since 19, Oct, 2026
+ */
+public class CTSyncManager implements CTEditorManager.OnCommitListener {
+    private static final String TAG = CTSyncManager.class.getSimpleName();
+    private static final int MAX_BATCH_SIZE = 256;
+
+    private final CTEditorManager mEditorManager;
+    private final EditText mEditText;
+    private final CTSyncTransport mTransport;
+    private final CTSyncClient mClient;
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService mExecutor = Executors.newSingleThreadExecutor();
+    private final CTSyncStats mStats = new CTSyncStats();
+    private boolean mInFlight = false;
+    // sync requested while an exchange was in flight, run once it ends
+    private boolean mSyncPending = false;
+
+    public CTSyncManager(CTEditorManager editorManager, EditText editText, CTSyncTransport transport, String clientId) {
+        mEditorManager = editorManager;
+        mEditText = editText;
+        mTransport = transport;
+        mClient = new CTSyncClient(clientId);
+        mEditorManager.setOnCommitListener(this);
+    }
+
+    public CTSyncStats getStats() {
+        return mStats;
+    }
+
+    /**
+     * @return true if there are local edits not acknowledged by the server
+     */
+    public boolean hasUnsyncedChanges() {
+        return mClient.hasUnsyncedChanges();
+    }
+
+    /**
+     * Stops the background thread, the next manager uploads the local differences on its first sync
+     */
+    public void release() {
+        mEditorManager.setOnCommitListener(null);
+        mExecutor.shutdownNow();
+    }
+
+    @Override
+    public void onCommit(CTEditorHistoryItem item) {
+        mClient.add(item.mmStart, item.mmBefore.toString(), item.mmAfter.toString());
+    }
+
+    /**
+     * Sends the next batch of unsynced operations and applies the ones received.
+     * If an exchange is already in flight, the sync runs once it ends.
+     */
+    public void sync() {
+        if (mExecutor.isShutdown()) {
+            return;
+        }
+        if (mInFlight) {
+            mSyncPending = true;
+            return;
+        }
+        mSyncPending = false;
+        mEditorManager.flushCommit();
+
+        final CTSyncCodec.Request request = mClient.createRequest(MAX_BATCH_SIZE);
+        // measured against on the background thread
+        final String document = mEditText.getText().toString();
+        mInFlight = true;
+
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    long startTime = System.nanoTime();
+                    final byte[] encoded = CTSyncCodec.encode(request);
+                    final byte[] response = mTransport.exchange(encoded);
+                    final CTSyncCodec.Response decoded = CTSyncCodec.decodeResponse(response);
+                    final long elapsedNanos = System.nanoTime() - startTime;
+                    final int fullDocumentBytes = CTSyncCodec.encodeDocument(document).length;
+
+                    mHandler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            mStats.record(request.mmOperations.size(), encoded.length, response.length, fullDocumentBytes, elapsedNanos);
+                            onResponse(decoded);
+                        }
+                    });
+                } catch (final Throwable t) {
+                    // any failure of the transport or a corrupt response, the next sync must still run
+                    mHandler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            mInFlight = false;
+                            mStats.mFailures++;
+                            Log.e(TAG, "sync, exchange failed, batch kept for the next sync", t);
+                            // a sync requested meanwhile gets its own attempt, no retry loop otherwise
+                            if (mSyncPending) {
+                                sync();
+                            }
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    private void onResponse(CTSyncCodec.Response response) {
+        mInFlight = false;
+        if (mExecutor.isShutdown()) {
+            return;
+        }
+        // edits still being batched are local too, the inbound operations must apply after them
+        mEditorManager.flushCommit();
+
+        CTSyncClient.Update update = mClient.receive(response, mEditText.getText());
+        if (update == null) {
+            mStats.mRejections++;
+            Log.e(TAG, "onResponse, rejected: " + response.mmError + ", resyncing");
+            sync();
+            return;
+        }
+
+        List<CTEditorHistoryItem> items = new ArrayList<CTEditorHistoryItem>(update.mmInbound.size());
+        for (CTSyncOperation op : update.mmInbound) {
+            items.add(op.toHistoryItem());
+        }
+        try {
+            mEditorManager.applyExternalEdits(items);
+        } catch (IllegalStateException e) {
+            // nothing was applied, the state is untouched until the resync
+            Log.e(TAG, "onResponse, inbound operations do not match the text, resyncing", e);
+            mClient.resync();
+            sync();
+            return;
+        }
+        mClient.accept(update);
+        Log.d(TAG, "onResponse, revision: " + mClient.getRevision() + ", inbound: " + items.size() + ", " + mStats);
+
+        // edits made during the exchange, or left over from a full batch
+        if (mSyncPending || mClient.hasUnsyncedChanges()) {
+            sync();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ct.editor.sync;
+
+import com.ct.editor.manager.CTEditorHistoryItem;
+
+/**
+ * {@code Entity Model class for a sync Operation, a sequence numbered {@link CTEditorHistoryItem}}
+ * Replaces mmBefore at mmStart with mmAfter.
+ *
+ * @version 1.0
+ * @since 19, Oct, 2026
+ */
+public final class CTSyncOperation {
+    // client sequence number, increases with every committed local edit
+    public final long mmSeq;
+    public final int mmStart;
+    public final String mmBefore;
+    public final String mmAfter;
+
+    public CTSyncOperation(long seq, int start, String before, String after) {
+        mmSeq = seq;
+        mmStart = start;
+        mmBefore = before;
+        mmAfter = after;
+    }
+
+    public CTSyncOperation(long seq, CTEditorHistoryItem item) {
+        this(seq, item.mmStart, item.mmBefore.toString(), item.mmAfter.toString());
+    }
+
+    public int end() {
+        return mmStart + mmBefore.length();
+    }
+
+    public CTEditorHistoryItem toHistoryItem() {
+        return new CTEditorHistoryItem(mmStart, mmBefore, mmAfter);
+    }
+
+    @Override
+    public String toString() {
+        return "CTSyncOperation{" +
+                "mmSeq=" + mmSeq +
+                ", mmStart=" + mmStart +
+                ", mmBefore=" + mmBefore +
+                ", mmAfter=" + mmAfter +
+                '}';
+    }
+}
@@ -0,0 +1,58 @@
+package com.ct.editor.sync;
+
+/**
+ * {@code Entity Model class for sync measurements, compared against uploading the full document}
+ *
+ * @version 1.0
+ * @since 19, Oct, 2026
+ */
+public final class CTSyncStats {
+    public int mSyncs = 0;
+    // transport failures, retried with the next sync
+    public int mFailures = 0;
+    // requests rejected by the server, followed by a resync
+    public int mRejections = 0;
+    public long mOperations = 0;
+    // compressed bytes on the wire
+    public long mBytesSent = 0;
+    public long mBytesReceived = 0;
+    // compressed bytes a full document upload would have sent for the same syncs
+    public long mFullDocumentBytes = 0;
+    // time spent encoding, exchanging and decoding
+    public long mElapsedNanos = 0;
+
+    void record(int operations, int bytesSent, int bytesReceived, long fullDocumentBytes, long elapsedNanos) {
+        mSyncs++;
+        mOperations += operations;
+        mBytesSent += bytesSent;
+        mBytesReceived += bytesReceived;
+        mFullDocumentBytes += fullDocumentBytes;
+        mElapsedNanos += elapsedNanos;
+    }
+
+    /**
+     * @return sent bytes as a fraction of the full document uploads, lower is better
+     */
+    public double getUploadRatio() {
+        return mFullDocumentBytes == 0 ? 0 : (double) mBytesSent / mFullDocumentBytes;
+    }
+
+    public double getOperationsPerSecond() {
+        return mElapsedNanos == 0 ? 0 : mOperations * 1e9 / mElapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "CTSyncStats{" +
+                "mSyncs=" + mSyncs +
+                ", mFailures=" + mFailures +
+                ", mRejections=" + mRejections +
+                ", mOperations=" + mOperations +
+                ", mBytesSent=" + mBytesSent +
+                ", mBytesReceived=" + mBytesReceived +
+                ", mFullDocumentBytes=" + mFullDocumentBytes +
+                ", uploadRatio=" + getUploadRatio() +
+                ", operationsPerSecond=" + getOperationsPerSecond() +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package com.ct.editor.sync;
+
+import com.ct.editor.manager.CTEditTransform;
+
+import java.util.List;
+
+/**
+ * {@code Operational Transform for {@link CTSyncOperation}, see {@link CTEditTransform}}
+ *
+ * @version 1.0
+ * @since 19, Oct, 2026
+ */
+public final class CTSyncTransform {
+
+    private CTSyncTransform() {
+    }
+
+    /**
+     * @param a     operation to transform
+     * @param b     operation concurrent to a, both made on the same text
+     * @param aWins true if a goes first when both start at the same position
+     * @return a, to be applied after b
+     */
+    public static CTSyncOperation transform(CTSyncOperation a, CTSyncOperation b, boolean aWins) {
+        return new CTSyncOperation(a.mmSeq, CTEditTransform.transform(a.toHistoryItem(), b.toHistoryItem(), aWins));
+    }
+
+    /**
+     * Transforms two concurrent operation sequences against each other.
+     *
+     * @param a     sequence made on the same text as b, transformed in place to apply after b
+     * @param b     sequence made on the same text as a, transformed in place to apply after a
+     * @param aWins true if a goes first on ties
+     */
+    public static void transform(List<CTSyncOperation> a, List<CTSyncOperation> b, boolean aWins) {
+        for (int i = 0; i < a.size(); i++) {
+            CTSyncOperation op = a.get(i);
+            for (int j = 0; j < b.size(); j++) {
+                CTSyncOperation other = b.get(j);
+                b.set(j, transform(other, op, !aWins));
+                op = transform(op, other, aWins);
+            }
+            a.set(i, op);
+        }
+    }
+}
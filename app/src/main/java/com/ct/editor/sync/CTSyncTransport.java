@@ -0,0 +1,22 @@
+package com.ct.editor.sync;
+
+import java.io.IOException;
+
+/**
+ * {@code Pluggable transport for {@link CTSyncManager}, e.g. http, or an in-process server in tests}
+ * Called on the sync background thread. A failed exchange is retried with the next sync, the
+ * server recognizes operations it applied already. A request the server can't accept is not a
+ * failure, it is answered with a rejected {@link CTSyncCodec.Response}.
+ *
+ * @version 1.0
+ * @since 19, Oct, 2026
+ */
+public interface CTSyncTransport {
+
+    /**
+     * @param request encoded {@link CTSyncCodec.Request}
+     * @return encoded {@link CTSyncCodec.Response}
+     * @throws IOException if the exchange failed, e.g. a timeout, the request may have been applied
+     */
+    byte[] exchange(byte[] request) throws IOException;
+}
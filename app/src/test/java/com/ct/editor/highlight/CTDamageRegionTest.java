@@ -0,0 +1,59 @@
+package com.ct.editor.highlight;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link CTDamageRegion}
+ */
+public class CTDamageRegionTest {
+
+    @Test
+    public void map_beforeEdit_isUnchanged() {
+        assertEquals(3, CTDamageRegion.map(3, 5, 2, 4));
+        assertEquals(5, CTDamageRegion.map(5, 5, 2, 4));
+    }
+
+    @Test
+    public void map_afterEdit_isShifted() {
+        assertEquals(12, CTDamageRegion.map(10, 5, 2, 4));
+        assertEquals(9, CTDamageRegion.map(7, 5, 2, 4));
+        assertEquals(8, CTDamageRegion.map(10, 5, 2, 0));
+    }
+
+    @Test
+    public void map_insideReplacedText_collapsesToStart() {
+        assertEquals(5, CTDamageRegion.map(6, 5, 2, 4));
+    }
+
+    @Test
+    public void add_firstEdit_coversInsertedText() {
+        CTDamageRegion damage = new CTDamageRegion();
+        assertTrue(damage.isEmpty());
+        damage.add(4, 1, 3);
+        assertEquals(4, damage.mStart);
+        assertEquals(7, damage.mEnd);
+    }
+
+    @Test
+    public void add_laterEdits_mapAndUnite() {
+        CTDamageRegion damage = new CTDamageRegion();
+        damage.add(10, 0, 2);
+        // typing inside the region grows it
+        damage.add(11, 0, 1);
+        assertEquals(10, damage.mStart);
+        assertEquals(13, damage.mEnd);
+        // deletion over the region end shrinks it to the deletion point
+        damage.add(12, 4, 0);
+        assertEquals(10, damage.mStart);
+        assertEquals(12, damage.mEnd);
+        // replacement of the whole region collapses it to the replacement
+        damage.add(5, 10, 1);
+        assertEquals(5, damage.mStart);
+        assertEquals(6, damage.mEnd);
+
+        damage.clear();
+        assertTrue(damage.isEmpty());
+    }
+}
@@ -0,0 +1,87 @@
+package com.ct.editor.highlight;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link CTMarkdownTokenizer}
+ */
+public class CTMarkdownTokenizerTest {
+    private final CTMarkdownTokenizer mTokenizer = new CTMarkdownTokenizer();
+
+    private static void assertToken(CTToken token, int start, int end, CTToken.Type type) {
+        assertEquals(start, token.mmStart);
+        assertEquals(end, token.mmEnd);
+        assertEquals(type, token.mmType);
+    }
+
+    @Test
+    public void regionStart_isLineStart() {
+        String text = "one\ntwo\nthree";
+        assertEquals(0, mTokenizer.regionStart(text, 0));
+        assertEquals(0, mTokenizer.regionStart(text, 3));
+        assertEquals(4, mTokenizer.regionStart(text, 4));
+        assertEquals(4, mTokenizer.regionStart(text, 6));
+        assertEquals(8, mTokenizer.regionStart(text, text.length()));
+    }
+
+    @Test
+    public void regionEnd_isLineEnd() {
+        String text = "one\ntwo\nthree";
+        assertEquals(3, mTokenizer.regionEnd(text, 0));
+        assertEquals(3, mTokenizer.regionEnd(text, 3));
+        assertEquals(7, mTokenizer.regionEnd(text, 4));
+        assertEquals(text.length(), mTokenizer.regionEnd(text, 9));
+        assertEquals(text.length(), mTokenizer.regionEnd(text, text.length()));
+    }
+
+    @Test
+    public void tokenize_offsetsAreAbsolute() {
+        List<CTToken> tokens = mTokenizer.tokenize("a `b` c", 100);
+        assertEquals(1, tokens.size());
+        assertToken(tokens.get(0), 102, 105, CTToken.Type.CODE);
+    }
+
+    @Test
+    public void tokenize_blockTokensCoverLine() {
+        List<CTToken> tokens = mTokenizer.tokenize("# title\n> quote\n```java\n#nospace", 0);
+        assertEquals(3, tokens.size());
+        assertToken(tokens.get(0), 0, 7, CTToken.Type.HEADING);
+        assertToken(tokens.get(1), 8, 15, CTToken.Type.QUOTE);
+        assertToken(tokens.get(2), 16, 23, CTToken.Type.CODE);
+    }
+
+    @Test
+    public void tokenize_listMarkerThenInline() {
+        List<CTToken> tokens = mTokenizer.tokenize("  - **bold**\n12. [l](u)", 0);
+        assertEquals(4, tokens.size());
+        assertToken(tokens.get(0), 2, 4, CTToken.Type.LIST_MARKER);
+        assertToken(tokens.get(1), 4, 12, CTToken.Type.BOLD);
+        assertToken(tokens.get(2), 13, 17, CTToken.Type.LIST_MARKER);
+        assertToken(tokens.get(3), 17, 23, CTToken.Type.LINK);
+    }
+
+    @Test
+    public void tokenize_emphasis() {
+        List<CTToken> tokens = mTokenizer.tokenize("*a* _b_ ** x", 0);
+        assertEquals(2, tokens.size());
+        assertToken(tokens.get(0), 0, 3, CTToken.Type.ITALIC);
+        assertToken(tokens.get(1), 4, 7, CTToken.Type.ITALIC);
+    }
+
+    @Test
+    public void tokenize_snakeCaseIsNotItalic() {
+        assertTrue(mTokenizer.tokenize("a_b_c and some_long_name", 0).isEmpty());
+        assertTrue(mTokenizer.tokenize("x__y__z", 0).isEmpty());
+    }
+
+    @Test
+    public void tokenize_tokensDoNotCrossLines() {
+        assertTrue(mTokenizer.tokenize("`open\nclose`", 0).isEmpty());
+        assertTrue(mTokenizer.tokenize("", 0).isEmpty());
+        assertTrue(mTokenizer.tokenize("\n\n", 0).isEmpty());
+    }
+}
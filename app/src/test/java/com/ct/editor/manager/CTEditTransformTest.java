@@ -0,0 +1,77 @@
+package com.ct.editor.manager;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link CTEditTransform}
+ */
+public class CTEditTransformTest {
+
+    private static String apply(String text, CTEditorHistoryItem edit) {
+        int end = edit.mmStart + edit.mmBefore.length();
+        assertEquals("before text of " + edit, edit.mmBefore.toString(), text.substring(edit.mmStart, end));
+        return text.substring(0, edit.mmStart) + edit.mmAfter + text.substring(end);
+    }
+
+    /**
+     * @return the text after a and b, applied in both orders, which must be the same
+     */
+    private static String merge(String text, CTEditorHistoryItem a, CTEditorHistoryItem b, boolean aWins) {
+        String ab = apply(apply(text, a), CTEditTransform.transform(b, a, !aWins));
+        String ba = apply(apply(text, b), CTEditTransform.transform(a, b, aWins));
+        assertEquals(ab, ba);
+        return ab;
+    }
+
+    @Test
+    public void disjoint_isShifted() {
+        CTEditorHistoryItem a = new CTEditorHistoryItem(1, "12", "x");
+        CTEditorHistoryItem b = new CTEditorHistoryItem(6, "", "yy");
+        assertEquals("0x345yy6789", merge("0123456789", a, b, true));
+    }
+
+    @Test
+    public void insertsAtSamePosition_winnerFirst() {
+        CTEditorHistoryItem a = new CTEditorHistoryItem(2, "", "a");
+        CTEditorHistoryItem b = new CTEditorHistoryItem(2, "", "b");
+        assertEquals("01ab23", merge("0123", a, b, true));
+        assertEquals("01ba23", merge("0123", a, b, false));
+    }
+
+    @Test
+    public void overlap_keepsBothInsertions() {
+        // local replace of "34567", remote insert inside it
+        CTEditorHistoryItem local = new CTEditorHistoryItem(3, "34567", "NEW");
+        CTEditorHistoryItem remote = new CTEditorHistoryItem(5, "", "x");
+        assertEquals("012NEWx89", merge("0123456789", local, remote, false));
+        assertEquals("012NEWx89", merge("0123456789", local, remote, true));
+    }
+
+    @Test
+    public void overlap_mergesDeletions() {
+        CTEditorHistoryItem a = new CTEditorHistoryItem(2, "2345", "A");
+        CTEditorHistoryItem b = new CTEditorHistoryItem(4, "4567", "B");
+        assertEquals("01AB89", merge("0123456789", a, b, false));
+    }
+
+    @Test
+    public void random_convergesInBothOrders() {
+        Random random = new Random(42);
+        String base = "0123456789abcdef";
+        for (int i = 0; i < 20000; i++) {
+            String text = base.substring(0, random.nextInt(base.length()));
+            merge(text, randomEdit(random, text), randomEdit(random, text), random.nextBoolean());
+        }
+    }
+
+    static CTEditorHistoryItem randomEdit(Random random, String text) {
+        int start = random.nextInt(text.length() + 1);
+        int end = start + random.nextInt(Math.min(5, text.length() - start) + 1);
+        String after = random.nextInt(3) == 0 ? "" : "" + (char) ('A' + random.nextInt(26)) + (char) ('a' + random.nextInt(26));
+        return new CTEditorHistoryItem(start, text.substring(start, end), after);
+    }
+}
@@ -0,0 +1,105 @@
+package com.ct.editor.sync;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code In-process stand-in for the sync backend, holds the document and its operation log}
+ * Incoming operations are transformed against the ones the client has not seen yet, the server
+ * operations win ties. Retransmitted operations are recognized by their sequence number, the
+ * client is answered as if the lost response had arrived.
+ *
+ * @version 1.0
+ * @since 19, Oct, 2026
+ */
+public class CTLocalSyncServer implements CTSyncTransport {
+    private final StringBuilder mDocument = new StringBuilder();
+    // operation log and the client of each entry, the revision is the log size
+    private final List<CTSyncOperation> mLog = new ArrayList<CTSyncOperation>();
+    private final List<String> mLogClients = new ArrayList<String>();
+    private final Map<String, Long> mLastSeq = new HashMap<String, Long>();
+
+    public CTLocalSyncServer(String document) {
+        mDocument.append(document);
+    }
+
+    public synchronized String getDocument() {
+        return mDocument.toString();
+    }
+
+    public synchronized int getRevision() {
+        return mLog.size();
+    }
+
+    @Override
+    public synchronized byte[] exchange(byte[] data) throws IOException {
+        return CTSyncCodec.encode(handle(CTSyncCodec.decodeRequest(data)));
+    }
+
+    private CTSyncCodec.Response handle(CTSyncCodec.Request request) {
+        Long last = mLastSeq.get(request.mmClientId);
+        long ackSeq = last == null ? 0 : last;
+
+        if (request.mmBaseRevision == CTSyncCodec.RESYNC_REVISION) {
+            return new CTSyncCodec.Response(mLog.size(), ackSeq, new ArrayList<CTSyncOperation>(),
+                    mDocument.toString(), null);
+        }
+        if (request.mmBaseRevision < 0 || request.mmBaseRevision > mLog.size()) {
+            return CTSyncCodec.Response.rejected("Unknown base revision: " + request.mmBaseRevision);
+        }
+
+        // operations applied already by an exchange whose response was lost, and the new ones
+        List<CTSyncOperation> bridge = new ArrayList<CTSyncOperation>();
+        List<CTSyncOperation> incoming = new ArrayList<CTSyncOperation>();
+        for (CTSyncOperation op : request.mmOperations) {
+            if (op.mmSeq <= ackSeq) {
+                bridge.add(op);
+            } else {
+                incoming.add(op);
+                ackSeq = op.mmSeq;
+            }
+        }
+
+        // bring the other clients' operations past the ones of this client
+        List<CTSyncOperation> missed = new ArrayList<CTSyncOperation>();
+        for (int i = request.mmBaseRevision; i < mLog.size(); i++) {
+            CTSyncOperation op = mLog.get(i);
+            if (mLogClients.get(i).equals(request.mmClientId)) {
+                if (bridge.isEmpty() || bridge.get(0).mmSeq != op.mmSeq) {
+                    return CTSyncCodec.Response.rejected("Operation missing from the batch: " + op);
+                }
+                bridge.remove(0);
+            } else {
+                List<CTSyncOperation> other = new ArrayList<CTSyncOperation>();
+                other.add(op);
+                CTSyncTransform.transform(other, bridge, true);
+                missed.add(other.get(0));
+            }
+        }
+        if (!bridge.isEmpty()) {
+            return CTSyncCodec.Response.rejected("Operation acked before the base revision: " + bridge.get(0));
+        }
+
+        CTSyncTransform.transform(incoming, missed, false);
+        // apply on a copy, a bad batch must not leave the document half edited
+        StringBuilder document = new StringBuilder(mDocument);
+        for (CTSyncOperation op : incoming) {
+            if (op.mmStart < 0 || op.end() > document.length()) {
+                return CTSyncCodec.Response.rejected("Operation out of bounds: " + op);
+            }
+            document.replace(op.mmStart, op.end(), op.mmAfter);
+        }
+        mDocument.setLength(0);
+        mDocument.append(document);
+        for (CTSyncOperation op : incoming) {
+            mLog.add(op);
+            mLogClients.add(request.mmClientId);
+        }
+        mLastSeq.put(request.mmClientId, ackSeq);
+
+        return new CTSyncCodec.Response(mLog.size(), ackSeq, missed, null, null);
+    }
+}
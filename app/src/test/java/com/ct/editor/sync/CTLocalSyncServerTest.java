@@ -0,0 +1,233 @@
+package com.ct.editor.sync;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link CTSyncClient} against the {@link CTLocalSyncServer} stand-in
+ */
+public class CTLocalSyncServerTest {
+
+    /**
+     * {@code Client text and sync state, like CTSyncManager without the editor}
+     */
+    static final class TestClient {
+        final CTSyncClient mClient;
+        final StringBuilder mText = new StringBuilder();
+
+        TestClient(String clientId) {
+            mClient = new CTSyncClient(clientId);
+        }
+
+        void edit(int start, int end, String after) {
+            mClient.add(start, mText.substring(start, end), after);
+            mText.replace(start, end, after);
+        }
+
+        /**
+         * @return the encoded request, to exchange with the server
+         */
+        byte[] request(int maxBatchSize) throws IOException {
+            return CTSyncCodec.encode(mClient.createRequest(maxBatchSize));
+        }
+
+        void receive(byte[] response) throws IOException {
+            CTSyncClient.Update update = mClient.receive(CTSyncCodec.decodeResponse(response), mText);
+            if (update == null) {
+                return;
+            }
+            for (CTSyncOperation op : update.mmInbound) {
+                assertEquals("inbound before text", op.mmBefore, mText.substring(op.mmStart, op.end()));
+                mText.replace(op.mmStart, op.end(), op.mmAfter);
+            }
+            mClient.accept(update);
+        }
+
+        void sync(CTLocalSyncServer server) throws IOException {
+            receive(server.exchange(request(Integer.MAX_VALUE)));
+        }
+    }
+
+    @Test
+    public void firstSync_fetchesDocument() throws Exception {
+        CTLocalSyncServer server = new CTLocalSyncServer("shared");
+        TestClient client = new TestClient("a");
+        client.sync(server);
+
+        assertEquals("shared", client.mText.toString());
+        assertFalse(client.mClient.isResyncNeeded());
+    }
+
+    @Test
+    public void firstSync_newBackend_uploadsLoadedText() throws Exception {
+        CTLocalSyncServer server = new CTLocalSyncServer("");
+        TestClient client = new TestClient("a");
+        // loaded from the saved note, not an edit
+        client.mText.append("my note");
+        client.sync(server);
+        assertTrue(client.mClient.hasUnsyncedChanges());
+
+        client.sync(server);
+        assertEquals("my note", server.getDocument());
+        assertEquals("my note", client.mText.toString());
+    }
+
+    @Test
+    public void firstSync_localEdits_uploadsOnlyTheDiff() throws Exception {
+        CTLocalSyncServer server = new CTLocalSyncServer("shared note");
+        TestClient client = new TestClient("a");
+        client.mText.append("shared note");
+        // edits made before the first response, e.g. right after a rotation
+        client.edit(6, 6, " edited");
+        client.sync(server);
+        client.sync(server);
+
+        assertEquals("shared edited note", server.getDocument());
+        assertEquals("shared edited note", client.mText.toString());
+    }
+
+    @Test
+    public void resync_keepsLocalEditsAndServerChanges() throws Exception {
+        CTLocalSyncServer server = new CTLocalSyncServer("0123456789");
+        TestClient a = new TestClient("a");
+        TestClient b = new TestClient("b");
+        a.sync(server);
+        b.sync(server);
+
+        b.edit(8, 10, "B");
+        b.sync(server);
+        a.edit(0, 2, "A");
+        // e.g. inbound operations that did not fit the text
+        a.mClient.resync();
+        a.sync(server);
+        assertEquals("A234567B", a.mText.toString());
+        assertTrue(a.mClient.hasUnsyncedChanges());
+
+        a.sync(server);
+        b.sync(server);
+        assertEquals("A234567B", server.getDocument());
+        assertEquals("A234567B", b.mText.toString());
+    }
+
+    @Test
+    public void retransmit_afterLostResponse_isNotDuplicated() throws Exception {
+        CTLocalSyncServer server = new CTLocalSyncServer("");
+        TestClient client = new TestClient("a");
+        client.sync(server);
+
+        client.edit(0, 0, "hello");
+        // applied by the server, the response is lost
+        server.exchange(client.request(Integer.MAX_VALUE));
+        assertEquals("hello", server.getDocument());
+
+        client.sync(server);
+        assertEquals("hello", server.getDocument());
+        assertEquals("hello", client.mText.toString());
+        assertFalse(client.mClient.hasUnsyncedChanges());
+    }
+
+    @Test
+    public void retransmit_withConcurrentEdits_converges() throws Exception {
+        CTLocalSyncServer server = new CTLocalSyncServer("0123456789");
+        TestClient a = new TestClient("a");
+        TestClient b = new TestClient("b");
+        a.sync(server);
+        b.sync(server);
+
+        b.edit(2, 4, "B");
+        b.sync(server);
+        a.edit(5, 5, "x");
+        server.exchange(a.request(Integer.MAX_VALUE));
+        b.edit(0, 1, "");
+        b.sync(server);
+        a.edit(0, 0, "y");
+        a.sync(server);
+        b.sync(server);
+
+        assertEquals(server.getDocument(), a.mText.toString());
+        assertEquals(server.getDocument(), b.mText.toString());
+    }
+
+    @Test
+    public void newSession_sameClientId_continuesSequence() throws Exception {
+        CTLocalSyncServer server = new CTLocalSyncServer("abc");
+        TestClient first = new TestClient("a");
+        first.sync(server);
+        first.edit(3, 3, "xxx");
+        first.sync(server);
+
+        // restart or rotation, same persisted client id with a new client
+        TestClient second = new TestClient("a");
+        second.sync(server);
+        second.edit(0, 0, "NEW");
+        second.sync(server);
+
+        assertFalse(second.mClient.isResyncNeeded());
+        assertFalse(second.mClient.hasUnsyncedChanges());
+        assertEquals("NEWabcxxx", server.getDocument());
+        assertEquals("NEWabcxxx", second.mText.toString());
+    }
+
+    @Test
+    public void rejected_request_resyncs() throws Exception {
+        CTLocalSyncServer server = new CTLocalSyncServer("abc");
+        TestClient client = new TestClient("a");
+        client.sync(server);
+
+        // an edit that does not fit the server document
+        client.mText.append("zzz");
+        client.edit(4, 6, "");
+        client.sync(server);
+        assertTrue(client.mClient.isResyncNeeded());
+
+        // the rejected delete is rebased away, the text not on the server is dropped
+        client.sync(server);
+        assertEquals("abc", client.mText.toString());
+        assertFalse(client.mClient.hasUnsyncedChanges());
+        assertFalse(client.mClient.isResyncNeeded());
+    }
+
+    @Test
+    public void random_clientsConverge() throws Exception {
+        Random random = new Random(7);
+        for (int round = 0; round < 300; round++) {
+            CTLocalSyncServer server = new CTLocalSyncServer("start");
+            TestClient[] clients = {new TestClient("a"), new TestClient("b"), new TestClient("c")};
+            for (TestClient client : clients) {
+                client.sync(server);
+            }
+
+            for (int step = 0; step < 80; step++) {
+                TestClient client = clients[random.nextInt(clients.length)];
+                int action = random.nextInt(7);
+                if (action < 4) {
+                    int length = client.mText.length();
+                    int start = random.nextInt(length + 1);
+                    int end = start + random.nextInt(Math.min(4, length - start) + 1);
+                    client.edit(start, end, random.nextInt(3) == 0 ? "" : "" + (char) ('a' + random.nextInt(26)));
+                } else if (action == 4) {
+                    client.sync(server);
+                } else if (action == 5) {
+                    client.mClient.resync();
+                } else {
+                    // partial batch whose response is lost
+                    server.exchange(client.request(1 + random.nextInt(3)));
+                }
+            }
+            for (int pass = 0; pass < 3; pass++) {
+                for (TestClient client : clients) {
+                    client.sync(server);
+                }
+            }
+
+            for (TestClient client : clients) {
+                assertEquals("round " + round, server.getDocument(), client.mText.toString());
+                assertFalse(client.mClient.hasUnsyncedChanges());
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ct.editor.sync;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link CTSyncCodec}
+ */
+public class CTSyncCodecTest {
+
+    private static void assertOperations(List<CTSyncOperation> expected, List<CTSyncOperation> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+        }
+    }
+
+    @Test
+    public void request_roundTrip() throws Exception {
+        List<CTSyncOperation> ops = Arrays.asList(
+                new CTSyncOperation(1, 0, "", "hello"),
+                new CTSyncOperation(2, 5, "x", "\u00e9\u4e2d\ud83d\ude00"),
+                new CTSyncOperation(Long.MAX_VALUE, 3, "abc", ""));
+        CTSyncCodec.Request request = CTSyncCodec.decodeRequest(
+                CTSyncCodec.encode(new CTSyncCodec.Request("client", 7, ops)));
+
+        assertEquals("client", request.mmClientId);
+        assertEquals(7, request.mmBaseRevision);
+        assertOperations(ops, request.mmOperations);
+    }
+
+    @Test
+    public void response_roundTrip() throws Exception {
+        List<CTSyncOperation> ops = Arrays.asList(new CTSyncOperation(4, 1, "a", "b"));
+        CTSyncCodec.Response response = CTSyncCodec.decodeResponse(
+                CTSyncCodec.encode(new CTSyncCodec.Response(12, 4, ops, null, null)));
+
+        assertEquals(12, response.mmRevision);
+        assertEquals(4, response.mmAckSeq);
+        assertOperations(ops, response.mmOperations);
+        assertNull(response.mmDocument);
+        assertNull(response.mmError);
+    }
+
+    @Test
+    public void response_documentAndError_roundTrip() throws Exception {
+        CTSyncCodec.Response resync = CTSyncCodec.decodeResponse(CTSyncCodec.encode(
+                new CTSyncCodec.Response(3, 0, new ArrayList<CTSyncOperation>(), "", null)));
+        assertEquals("", resync.mmDocument);
+
+        CTSyncCodec.Response rejected = CTSyncCodec.decodeResponse(
+                CTSyncCodec.encode(CTSyncCodec.Response.rejected("nope")));
+        assertEquals("nope", rejected.mmError);
+        assertTrue(rejected.mmOperations.isEmpty());
+    }
+
+    private static byte[] corrupt(int revision, long ackSeq, int count) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(1);
+        DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes));
+        out.writeInt(revision);
+        out.writeLong(ackSeq);
+        out.writeInt(count);
+        out.writeLong(1);
+        out.writeInt(0);
+        // string length far beyond the payload
+        out.writeInt(Integer.MAX_VALUE);
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void decode_corruptLengths_throwIOException() throws Exception {
+        try {
+            CTSyncCodec.decodeResponse(corrupt(1, 1, Integer.MAX_VALUE));
+            fail("expected IOException");
+        } catch (IOException expected) {
+        }
+    }
+
+    @Test
+    public void decode_unknownVersion_throws() throws Exception {
+        byte[] data = CTSyncCodec.encode(CTSyncCodec.Response.rejected("x"));
+        data[0] = 99;
+        try {
+            CTSyncCodec.decodeResponse(data);
+            fail("expected IOException");
+        } catch (IOException expected) {
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.ct.editor.sync;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link CTSyncStats}, measuring delta sync against full document uploads
+ */
+public class CTSyncStatsTest {
+
+    @Test
+    public void ratios_emptyStats_areZero() {
+        CTSyncStats stats = new CTSyncStats();
+        assertEquals(0, stats.getUploadRatio(), 0);
+        assertEquals(0, stats.getOperationsPerSecond(), 0);
+    }
+
+    @Test
+    public void record_accumulates() {
+        CTSyncStats stats = new CTSyncStats();
+        stats.record(10, 100, 20, 1000, 500000000L);
+        stats.record(10, 100, 20, 1000, 500000000L);
+
+        assertEquals(2, stats.mSyncs);
+        assertEquals(20, stats.mOperations);
+        assertEquals(0.1, stats.getUploadRatio(), 1e-9);
+        assertEquals(20, stats.getOperationsPerSecond(), 1e-9);
+    }
+
+    @Test
+    public void deltaSync_sendsFarLessThanFullUpload() throws Exception {
+        Random random = new Random(3);
+        StringBuilder text = new StringBuilder();
+        while (text.length() < 50000) {
+            text.append("word").append(random.nextInt(1000)).append(' ');
+        }
+        CTLocalSyncServer server = new CTLocalSyncServer(text.toString());
+        CTSyncClient client = new CTSyncClient("a");
+        client.accept(client.receive(CTSyncCodec.decodeResponse(
+                server.exchange(CTSyncCodec.encode(client.createRequest(1)))), text));
+
+        CTSyncStats stats = new CTSyncStats();
+        for (int batch = 0; batch < 10; batch++) {
+            for (int i = 0; i < 10; i++) {
+                int start = random.nextInt(text.length());
+                client.add(start, "", "typed text ");
+                text.insert(start, "typed text ");
+            }
+            long startTime = System.nanoTime();
+            CTSyncCodec.Request request = client.createRequest(Integer.MAX_VALUE);
+            byte[] encoded = CTSyncCodec.encode(request);
+            byte[] response = server.exchange(encoded);
+            client.accept(client.receive(CTSyncCodec.decodeResponse(response), text));
+            long elapsedNanos = System.nanoTime() - startTime;
+
+            stats.record(request.mmOperations.size(), encoded.length, response.length,
+                    CTSyncCodec.encodeDocument(text.toString()).length, elapsedNanos);
+        }
+
+        assertEquals(text.toString(), server.getDocument());
+        assertEquals(100, stats.mOperations);
+        // compressed deltas against a compressed full upload of the same syncs
+        assertTrue("upload ratio " + stats, stats.getUploadRatio() < 0.05);
+    }
+}